@@ -0,0 +1,33 @@
+package com.googlesource.gerrit.plugins.dormantuser;
+
+import com.google.common.base.Supplier;
+import com.google.gerrit.metrics.Description;
+import com.google.gerrit.metrics.MetricMaker;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * Exposes the activity counters as gauges.
+ */
+@Singleton
+public class ActivityMetrics {
+    @Inject
+    public ActivityMetrics(MetricMaker metrics, ActivityStats stats) {
+        gauge(metrics, "activity/daily_active",
+              "Distinct accounts active today", stats::getDailyActive);
+        gauge(metrics, "activity/weekly_active",
+              "Distinct accounts active this week", stats::getWeeklyActive);
+        gauge(metrics, "activity/monthly_active",
+              "Distinct accounts active this month", stats::getMonthlyActive);
+        gauge(metrics, "activity/dormant_forecast",
+              "Accounts becoming dormant within the next " + ActivityStats.FORECAST_DAYS + " days",
+              () -> stats.getDormantWithin(ActivityStats.FORECAST_DAYS));
+    }
+
+    private static void gauge(MetricMaker metrics, String name, String description,
+                              Supplier<Long> supplier) {
+        metrics.newCallbackMetric(name, Long.class,
+                new Description(description).setGauge().setUnit("accounts"),
+                supplier);
+    }
+}
@@ -0,0 +1,174 @@
+package com.googlesource.gerrit.plugins.dormantuser;
+
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Maps;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.time.temporal.TemporalAmount;
+import java.util.NavigableMap;
+import java.util.SortedMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Activity counters that are maintained incrementally as activity is recorded,
+ * so that they can be read without scanning all users.
+ *
+ * All dates are in UTC. Weeks start on Monday.
+ */
+@Singleton
+public class ActivityStats {
+    /** Default number of days to forecast dormancy for. */
+    public static final int FORECAST_DAYS = 30;
+
+    private final Clock clock;
+    private final Instant epoch;
+    private final TemporalAmount dormantPeriod;
+
+    private final Bucket daily = new Bucket(d -> d);
+    private final Bucket weekly = new Bucket(d -> d.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)));
+    private final Bucket monthly = new Bucket(d -> d.withDayOfMonth(1));
+
+    // Number of accounts that will become dormant on each day
+    private final NavigableMap<LocalDate, Integer> expiries = Maps.newTreeMap();
+    private LocalDate today;
+
+    @Inject
+    public ActivityStats(DormantUserConfig config) {
+        this(Clock.systemUTC(), config.getEpoch(), config.getDormantPeriod());
+    }
+
+    ActivityStats(Clock clock, Instant epoch, TemporalAmount dormantPeriod) {
+        this.clock = clock;
+        this.epoch = epoch;
+        this.dormantPeriod = dormantPeriod;
+    }
+
+    /**
+     * Records that an account's last activity moved from previous to current.
+     *
+     * @param previous previous last activity timestamp (null if the account was unknown)
+     * @param current new last activity timestamp (ignored if null)
+     */
+    public synchronized void record(Instant previous, Instant current) {
+        if (current == null) {
+            return;
+        }
+        roll();
+        daily.record(previous, current);
+        weekly.record(previous, current);
+        monthly.record(previous, current);
+        if (previous != null) {
+            // Entries for past days are pruned, so the old expiry may already be gone
+            expiries.computeIfPresent(expiryDate(previous), (d, n) -> n > 1 ? n - 1 : null);
+        }
+        LocalDate expiry = expiryDate(current);
+        if (!expiry.isBefore(today)) {
+            expiries.merge(expiry, 1, Integer::sum);
+        }
+    }
+
+    public synchronized long getDailyActive() {
+        roll();
+        return daily.count;
+    }
+
+    public synchronized long getWeeklyActive() {
+        roll();
+        return weekly.count;
+    }
+
+    public synchronized long getMonthlyActive() {
+        roll();
+        return monthly.count;
+    }
+
+    /**
+     * Returns the number of accounts that will become dormant within the given number of days,
+     * unless they are active again before then.
+     *
+     * Only the days after today are counted: accounts expiring today may already be dormant.
+     *
+     * @param days number of days after today
+     * @return number of accounts
+     */
+    public synchronized long getDormantWithin(int days) {
+        roll();
+        return upcomingExpiries(days).values().stream().mapToLong(Integer::longValue).sum();
+    }
+
+    /**
+     * Returns the number of accounts becoming dormant on each of the days after today.
+     *
+     * @param days number of days after today
+     * @return map of date to number of accounts; days without expiries are omitted
+     */
+    public synchronized SortedMap<LocalDate, Integer> getExpiryHistogram(int days) {
+        roll();
+        return ImmutableSortedMap.copyOfSorted(upcomingExpiries(days));
+    }
+
+    private NavigableMap<LocalDate, Integer> upcomingExpiries(int days) {
+        return expiries.subMap(today, false, today.plusDays(days), true);
+    }
+
+    private void roll() {
+        LocalDate now = toDate(clock.instant());
+        if (now.equals(today)) {
+            return;
+        }
+        today = now;
+        daily.roll(now);
+        weekly.roll(now);
+        monthly.roll(now);
+        // Accounts that expired before today are dormant already
+        expiries.headMap(now).clear();
+    }
+
+    private LocalDate expiryDate(Instant lastActive) {
+        Instant start = lastActive.isAfter(epoch) ? lastActive : epoch;
+        return toDate(start.plus(dormantPeriod));
+    }
+
+    private static LocalDate toDate(Instant instant) {
+        return instant.atZone(ZoneOffset.UTC).toLocalDate();
+    }
+
+    /**
+     * Counts distinct active accounts in the current period.
+     */
+    private static class Bucket {
+        private final UnaryOperator<LocalDate> truncate;
+        private LocalDate start;
+        private long count;
+
+        Bucket(UnaryOperator<LocalDate> truncate) {
+            this.truncate = truncate;
+        }
+
+        void roll(LocalDate today) {
+            LocalDate newStart = truncate.apply(today);
+            if (!newStart.equals(start)) {
+                count = 0;
+                start = newStart;
+            }
+        }
+
+        void record(Instant previous, Instant current) {
+            // Timestamps only move forward, so an account already active in this period was counted
+            if (contains(current) && !contains(previous)) {
+                count++;
+            }
+        }
+
+        private boolean contains(Instant instant) {
+            return instant != null && truncate.apply(toDate(instant)).equals(start);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.googlesource.gerrit.plugins.dormantuser;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.google.gerrit.extensions.events.LifecycleListener;
 import com.google.gerrit.lifecycle.LifecycleModule;
@@ -16,6 +17,7 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -27,29 +29,44 @@ public class DormantUserCacheImpl implements DormantUserCache {
 
     private final DormantUserStore store;
     private final DormantUserConfig config;
+    private final ActivityStats stats;
 
+    // Guarded by itself; timestamps and activity stats are updated together
     private final Map<Account.Id, Instant> timestampCache;
     private final Set<Account.Id> activeUsers;
 
     @Inject
     public DormantUserCacheImpl(DormantUserStore store,
-                                DormantUserConfig config) {
+                                DormantUserConfig config,
+                                ActivityStats stats) {
         this.store = store;
         this.config = config;
+        this.stats = stats;
         this.timestampCache = store.readUsersFromDisk();
         this.activeUsers = Sets.newHashSet();
+        // Seed the activity counters with the stored timestamps (null if they could not be read)
+        timestampCache.values().stream()
+                .filter(Objects::nonNull)
+                .forEach(ts -> stats.record(null, ts));
     }
 
     @Override
     public void markActive(Account.Id id) {
-        timestampCache.put(id, Instant.now());
+        synchronized (timestampCache) {
+            Instant now = Instant.now();
+            Instant previous = timestampCache.put(id, now);
+            stats.record(previous, now);
+        }
         activateUser(id);
     }
 
     @Override
     public boolean isActive(Account.Id id) {
         Instant dormantWindow = Instant.now().minus(config.getDormantPeriod());
-        Instant lastActive = timestampCache.get(id);
+        Instant lastActive;
+        synchronized (timestampCache) {
+            lastActive = timestampCache.get(id);
+        }
         if (lastActive == null) {
             return false;
         } else if (lastActive.isAfter(dormantWindow)) {
@@ -64,7 +81,10 @@ public class DormantUserCacheImpl implements DormantUserCache {
 
     @Override
     public List<Map.Entry<Account.Id, Instant>> allUsers() {
-        List<Map.Entry<Account.Id, Instant>> users = Lists.newArrayList(timestampCache.entrySet());
+        List<Map.Entry<Account.Id, Instant>> users;
+        synchronized (timestampCache) {
+            users = Lists.newArrayList(Maps.newHashMap(timestampCache).entrySet());
+        }
         users.sort(Map.Entry.<Account.Id, Instant>comparingByValue().reversed());
         return users;
     }
@@ -72,10 +92,24 @@ public class DormantUserCacheImpl implements DormantUserCache {
     @Override
     public void sync() {
         log.debug("Starting sync...");
-        // Update all timestamps in cache
-        timestampCache.replaceAll(store::updateTimestamp);
+        Map<Account.Id, Instant> snapshot;
+        synchronized (timestampCache) {
+            snapshot = Maps.newHashMap(timestampCache);
+        }
+        // Update all timestamps in storage, without holding the lock during I/O
+        snapshot.forEach((id, ts) -> {
+            Instant updated = store.updateTimestamp(id, ts);
+            synchronized (timestampCache) {
+                // The user may have been marked active in the meantime, so only move forward
+                Instant current = timestampCache.get(id);
+                if (updated != null && (current == null || updated.isAfter(current))) {
+                    timestampCache.put(id, updated);
+                    stats.record(current, updated);
+                }
+            }
+        });
         // Check for status changes
-        timestampCache.keySet().forEach(id -> {
+        snapshot.keySet().forEach(id -> {
             if (isActive(id)) {
                 activateUser(id);
             } else {
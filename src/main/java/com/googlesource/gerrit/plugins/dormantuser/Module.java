@@ -11,10 +11,14 @@ public class Module extends AbstractModule {
         // Register the config and store
         bind(DormantUserConfig.class);
         bind(DormantUserStore.class);
+        bind(ActivityStats.class);
 
         // Register the activity cache
         install(DormantUserCacheImpl.module());
 
+        // Register the activity metrics
+        bind(ActivityMetrics.class).asEagerSingleton();
+
         // Register the audit event listener
         DynamicSet.bind(binder(), AuditListener.class).to(UserAuditListener.class);
     }
@@ -1,6 +1,7 @@
 package com.googlesource.gerrit.plugins.dormantuser;
 
 import com.google.gerrit.sshd.PluginCommandModule;
+import com.googlesource.gerrit.plugins.dormantuser.commands.ActivityStatsCommand;
 import com.googlesource.gerrit.plugins.dormantuser.commands.LogTailCommand;
 import com.googlesource.gerrit.plugins.dormantuser.commands.UserListCommand;
 
@@ -8,5 +9,6 @@ public class SshModule extends PluginCommandModule {
     @Override
     protected void configureCommands() {
         command(UserListCommand.class);
+        command(ActivityStatsCommand.class);
     }
 }
@@ -0,0 +1,42 @@
+package com.googlesource.gerrit.plugins.dormantuser.commands;
+
+import com.google.gerrit.common.data.GlobalCapability;
+import com.google.gerrit.extensions.annotations.RequiresCapability;
+import com.google.gerrit.sshd.CommandMetaData;
+import com.google.gerrit.sshd.SshCommand;
+import com.google.inject.Inject;
+import com.googlesource.gerrit.plugins.dormantuser.ActivityStats;
+import org.kohsuke.args4j.Option;
+
+@RequiresCapability(GlobalCapability.ADMINISTRATE_SERVER)
+@CommandMetaData(name = "stats", description = "Show active user counts and dormancy forecast")
+public final class ActivityStatsCommand extends SshCommand {
+    @Inject private ActivityStats stats;
+
+    @Option(name = "--days", metaVar = "DAYS", usage = "number of days to forecast dormancy for")
+    private int days = ActivityStats.FORECAST_DAYS;
+
+    @Option(name = "--histogram", usage = "list the number of accounts becoming dormant on each day")
+    private boolean histogram;
+
+    @Override
+    protected void run() throws UnloggedFailure {
+        if (days < 0) {
+            throw die("--days must not be negative");
+        }
+        stdout.printf("daily active:\t%d", stats.getDailyActive());
+        stdout.println();
+        stdout.printf("weekly active:\t%d", stats.getWeeklyActive());
+        stdout.println();
+        stdout.printf("monthly active:\t%d", stats.getMonthlyActive());
+        stdout.println();
+        stdout.printf("dormant within %d days:\t%d", days, stats.getDormantWithin(days));
+        stdout.println();
+        if (histogram) {
+            stats.getExpiryHistogram(days).forEach((date, count) -> {
+                stdout.printf("%s\t%d", date, count);
+                stdout.println();
+            });
+        }
+    }
+}
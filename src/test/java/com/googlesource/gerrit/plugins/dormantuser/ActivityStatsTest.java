@@ -0,0 +1,183 @@
+package com.googlesource.gerrit.plugins.dormantuser;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.Assert.assertEquals;
+
+public class ActivityStatsTest {
+    private static final Duration DORMANT_PERIOD = Duration.ofDays(10);
+
+    private TestClock clock;
+    private ActivityStats stats;
+
+    @Before
+    public void setUp() {
+        // 2024-01-01 is a Monday
+        clock = new TestClock(at("2024-01-01T10:00:00Z"));
+        stats = new ActivityStats(clock, Instant.EPOCH, DORMANT_PERIOD);
+    }
+
+    @Test
+    public void countsDistinctAccounts() {
+        Instant first = at("2024-01-01T10:00:00Z");
+        Instant second = at("2024-01-01T11:00:00Z");
+        stats.record(null, first);
+        stats.record(first, second);
+        stats.record(null, second);
+        assertEquals(2, stats.getDailyActive());
+        assertEquals(2, stats.getWeeklyActive());
+        assertEquals(2, stats.getMonthlyActive());
+    }
+
+    @Test
+    public void ignoresNullTimestamp() {
+        stats.record(null, null);
+        assertEquals(0, stats.getDailyActive());
+        assertEquals(0, stats.getDormantWithin(ActivityStats.FORECAST_DAYS));
+    }
+
+    @Test
+    public void dayRollover() {
+        Instant monday = at("2024-01-01T23:00:00Z");
+        stats.record(null, monday);
+        clock.set(at("2024-01-02T01:00:00Z"));
+        assertEquals(0, stats.getDailyActive());
+        assertEquals(1, stats.getWeeklyActive());
+        assertEquals(1, stats.getMonthlyActive());
+
+        // Active in the previous day, but the same week and month
+        stats.record(monday, clock.instant());
+        assertEquals(1, stats.getDailyActive());
+        assertEquals(1, stats.getWeeklyActive());
+        assertEquals(1, stats.getMonthlyActive());
+    }
+
+    @Test
+    public void weekRollover() {
+        Instant sunday = at("2024-01-07T12:00:00Z");
+        clock.set(sunday);
+        stats.record(null, sunday);
+        clock.set(at("2024-01-08T12:00:00Z"));
+        assertEquals(0, stats.getDailyActive());
+        assertEquals(0, stats.getWeeklyActive());
+        assertEquals(1, stats.getMonthlyActive());
+
+        stats.record(sunday, clock.instant());
+        assertEquals(1, stats.getWeeklyActive());
+        assertEquals(1, stats.getMonthlyActive());
+    }
+
+    @Test
+    public void monthRollover() {
+        Instant january = at("2024-01-31T12:00:00Z");
+        clock.set(january);
+        stats.record(null, january);
+        // 2024-02-01 is in the same week as 2024-01-31
+        clock.set(at("2024-02-01T12:00:00Z"));
+        assertEquals(0, stats.getDailyActive());
+        assertEquals(1, stats.getWeeklyActive());
+        assertEquals(0, stats.getMonthlyActive());
+
+        stats.record(january, clock.instant());
+        assertEquals(1, stats.getDailyActive());
+        assertEquals(1, stats.getWeeklyActive());
+        assertEquals(1, stats.getMonthlyActive());
+    }
+
+    @Test
+    public void olderTimestampIsNotCounted() {
+        stats.record(null, at("2023-12-31T12:00:00Z"));
+        assertEquals(0, stats.getDailyActive());
+        assertEquals(0, stats.getWeeklyActive());
+        assertEquals(0, stats.getMonthlyActive());
+    }
+
+    @Test
+    public void movesExpiryToNewDate() {
+        Instant first = at("2024-01-01T10:00:00Z");
+        stats.record(null, first);
+        assertEquals(1, (int) stats.getExpiryHistogram(30).get(LocalDate.parse("2024-01-11")));
+
+        clock.set(at("2024-01-03T10:00:00Z"));
+        stats.record(first, clock.instant());
+        assertEquals(1, stats.getExpiryHistogram(30).size());
+        assertEquals(1, (int) stats.getExpiryHistogram(30).get(LocalDate.parse("2024-01-13")));
+    }
+
+    @Test
+    public void prunedExpiryIsNotDecremented() {
+        Instant first = at("2024-01-01T10:00:00Z");
+        Instant other = at("2024-01-10T10:00:00Z");
+        stats.record(null, first);
+        clock.set(other);
+        stats.record(null, other);
+
+        // The first account's expiry on 2024-01-11 is pruned on the next day
+        clock.set(at("2024-01-12T10:00:00Z"));
+        stats.record(first, clock.instant());
+        assertEquals(2, stats.getDormantWithin(30));
+        assertEquals(1, (int) stats.getExpiryHistogram(30).get(LocalDate.parse("2024-01-20")));
+        assertEquals(1, (int) stats.getExpiryHistogram(30).get(LocalDate.parse("2024-01-22")));
+    }
+
+    @Test
+    public void dormantWithinBoundaries() {
+        clock.set(at("2024-01-01T00:00:00Z"));
+        // Expires today, tomorrow, and in 3 and 4 days
+        stats.record(null, at("2023-12-22T12:00:00Z"));
+        stats.record(null, at("2023-12-23T12:00:00Z"));
+        stats.record(null, at("2023-12-25T12:00:00Z"));
+        stats.record(null, at("2023-12-26T12:00:00Z"));
+        assertEquals(0, stats.getDormantWithin(0));
+        assertEquals(1, stats.getDormantWithin(1));
+        assertEquals(2, stats.getDormantWithin(3));
+        assertEquals(3, stats.getDormantWithin(4));
+    }
+
+    @Test
+    public void expiryStartsAtEpoch() {
+        Instant epoch = at("2024-01-05T00:00:00Z");
+        stats = new ActivityStats(clock, epoch, DORMANT_PERIOD);
+        stats.record(null, at("2023-06-01T00:00:00Z"));
+        assertEquals(1, (int) stats.getExpiryHistogram(30).get(LocalDate.parse("2024-01-15")));
+    }
+
+    private static Instant at(String instant) {
+        return Instant.parse(instant);
+    }
+
+    private static class TestClock extends Clock {
+        private Instant now;
+
+        TestClock(Instant now) {
+            this.now = now;
+        }
+
+        void set(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}